@@ -0,0 +1,24 @@
+package com.wiratamap.backendlibrary.benchmark;
+
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+
+final class BenchmarkBooks {
+
+    private BenchmarkBooks() {
+    }
+
+    static void seed(BookRepository bookRepository, int count) {
+        bookRepository.deleteAll();
+        for (int i = 0; i < count; i++) {
+            bookRepository.save(Book.builder()
+                    .title("Benchmark Book " + i)
+                    .author("Benchmark Author " + (i % 100))
+                    .isbn("978" + String.format("%010d", i))
+                    .publicationYear("2020")
+                    .genre("Fiction")
+                    .description("Description of benchmark book " + i)
+                    .build());
+        }
+    }
+}
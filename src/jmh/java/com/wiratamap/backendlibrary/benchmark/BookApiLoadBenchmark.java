@@ -0,0 +1,113 @@
+package com.wiratamap.backendlibrary.benchmark;
+
+import com.wiratamap.backendlibrary.BackendLibraryApplication;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of listing every book over HTTP, comparing the blocking endpoint served on
+ * virtual threads ({@code mvc}) with the R2DBC endpoint ({@code reactive}) under {@link Threads}
+ * concurrent clients. {@code pauseMillisPerChunk} makes every client a slow consumer that sleeps
+ * after each chunk it reads, so the server has to hold the response open rather than flush it into
+ * socket buffers. Latency percentiles come from the {@code SampleTime} mode.
+ * <p>
+ * Both endpoints run in Spring MVC on the same Tomcat, and the reactive one writes its rows with blocking
+ * servlet I/O. This compares R2DBC reads with JDBC reads on virtual threads, not WebFlux on Reactor Netty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BookApiLoadBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"mvc", "reactive"})
+    public String stack;
+
+    @Param({"0", "1"})
+    public int pauseMillisPerChunk;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest request;
+
+    @Setup
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BackendLibraryApplication.class)
+                .properties(
+                        "server.port=0",
+                        "library.sharding.urls=jdbc:h2:mem:load-benchmark-0;DB_CLOSE_DELAY=-1,"
+                                + "jdbc:h2:mem:load-benchmark-1;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=warn")
+                .run();
+        BenchmarkBooks.seed(context.getBean(BookRepository.class), ROWS);
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        boolean reactive = stack.equals("reactive");
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + (reactive ? "/reactive/books" : "/books")))
+                .header("Accept", reactive ? "application/x-ndjson" : "application/json")
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void stopApplication() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public long listBooks() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+            }
+
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = body.read(chunk)) != -1) {
+                bytes += read;
+                if (pauseMillisPerChunk > 0) {
+                    Thread.sleep(pauseMillisPerChunk);
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,136 @@
+package com.wiratamap.backendlibrary.benchmark;
+
+import com.wiratamap.backendlibrary.BackendLibraryApplication;
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import com.wiratamap.backendlibrary.service.BookService;
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import com.wiratamap.backendlibrary.tracing.RequestTrace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of answering {@code GET /books}: streaming rows straight into the JSON generator
+ * versus the list-based path it replaced, which loaded {@link Book} entities, copied them into
+ * {@link BookDto}s and serialized the list reflectively afterwards. Every invocation runs inside a
+ * {@link RequestTrace}, as a request does, so the tracing wrappers on the shard connections are paid for.
+ * Run with {@code -prof gc}; because of {@link OperationsPerInvocation}, {@code gc.alloc.rate.norm}
+ * is reported in bytes per row, and {@code gc.count}/{@code gc.time} show the collector load. The
+ * {@code UnderLoad} variants run {@value #CONCURRENT_REQUESTS} threads at once, so the GC figures
+ * reflect overlapping requests rather than one request at a time.
+ * <p>
+ * Limits: there is no HTTP server or servlet response in the loop (see {@link BookApiLoadBenchmark} for
+ * that), and the entity baseline maps rows with {@link BeanPropertyRowMapper} because JPA is no longer on
+ * the classpath, so it approximates rather than reproduces the Hibernate entity cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(BookListSerializationBenchmark.ROWS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookListSerializationBenchmark {
+
+    static final int ROWS = 10_000;
+
+    static final int CONCURRENT_REQUESTS = 8;
+
+    private static final RowMapper<Book> BOOK_ENTITY = BeanPropertyRowMapper.newInstance(Book.class);
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private BookShards bookShards;
+
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void startApplication() {
+        context = new SpringApplicationBuilder(BackendLibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "library.sharding.urls=jdbc:h2:mem:serialization-benchmark-0;DB_CLOSE_DELAY=-1,"
+                                + "jdbc:h2:mem:serialization-benchmark-1;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=warn")
+                .run();
+
+        bookService = context.getBean(BookService.class);
+        bookShards = context.getBean(BookShards.class);
+        jsonMapper = context.getBean(JsonMapper.class);
+        BenchmarkBooks.seed(context.getBean(BookRepository.class), ROWS);
+    }
+
+    @TearDown
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void streamRowsToJson() {
+        traced(() -> bookService.writeAll(null, OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    public void loadEntitiesThenSerialize() {
+        traced(() -> {
+            List<BookDto> books = bookShards.scatter(shard -> shard.query("SELECT * FROM book", BOOK_ENTITY))
+                    .stream()
+                    .flatMap(List::stream)
+                    .sorted(Comparator.comparing(Book::getId))
+                    .map(BookListSerializationBenchmark::toDto)
+                    .toList();
+            jsonMapper.writeValue(OutputStream.nullOutputStream(), books);
+        });
+    }
+
+    @Benchmark
+    @Threads(CONCURRENT_REQUESTS)
+    public void streamRowsToJsonUnderLoad() {
+        streamRowsToJson();
+    }
+
+    @Benchmark
+    @Threads(CONCURRENT_REQUESTS)
+    public void loadEntitiesThenSerializeUnderLoad() {
+        loadEntitiesThenSerialize();
+    }
+
+    private static void traced(Runnable request) {
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            request.run();
+        } finally {
+            trace.end();
+        }
+    }
+
+    private static BookDto toDto(Book book) {
+        return new BookDto(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                book.getPublicationYear(), book.getGenre(), book.getDescription());
+    }
+}
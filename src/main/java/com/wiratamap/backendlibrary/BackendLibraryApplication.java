@@ -2,8 +2,10 @@ package com.wiratamap.backendlibrary;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
 
-@SpringBootApplication
+// Books live in the shard pools owned by BookShards; there is no single application DataSource.
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
 public class BackendLibraryApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,172 @@
+package com.wiratamap.backendlibrary.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the ids matched by a search term, keyed on the normalized term.
+ * <p>
+ * Entries are kept in LRU order, but a new term only replaces the LRU victim when it has been
+ * searched more often than the victim, so one-off terms cannot push out popular ones.
+ * Frequencies are tracked approximately in a count-min sketch that is halved periodically
+ * so that popularity ages out. Terms matching more than {@code maxIdsPerEntry} books are not
+ * cached, since replaying them as an id list would cost more than re-running the search.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final int SKETCH_DEPTH = 4;
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private final int maxEntries;
+
+    private final int maxIdsPerEntry;
+
+    private final LinkedHashMap<String, List<Long>> entries;
+
+    private final int[][] sketch;
+
+    private final int sketchMask;
+
+    private final int sampleSize;
+
+    private int samples;
+
+    private long generation;
+
+    public SearchResultCache(@Value("${library.search-cache.max-entries:1024}") int maxEntries,
+                             @Value("${library.search-cache.max-ids-per-entry:500}") int maxIdsPerEntry) {
+        this.maxEntries = maxEntries;
+        this.maxIdsPerEntry = maxIdsPerEntry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        int width = Integer.highestOneBit(Math.max(16, maxEntries * 4) - 1) << 1;
+        this.sketch = new int[SKETCH_DEPTH][width];
+        this.sketchMask = width - 1;
+        this.sampleSize = Math.max(100, maxEntries * 10);
+    }
+
+    /**
+     * Lower-cases the term and collapses surrounding and repeated whitespace, so that
+     * case and spacing variants of the same search share one entry.
+     */
+    public static String normalize(String search) {
+        return WHITESPACE.matcher(search.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the cached ids for an already normalized term, or {@code null} on a miss.
+     * Every lookup counts towards the popularity of the term.
+     */
+    public synchronized List<Long> get(String key) {
+        recordAccess(key);
+        return entries.get(key);
+    }
+
+    /**
+     * Current invalidation generation. Read it before querying and pass it to
+     * {@link #put(String, List, long)} so results computed across a mutation are not cached.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public int maxIdsPerEntry() {
+        return maxIdsPerEntry;
+    }
+
+    public synchronized void put(String key, List<Long> ids, long readGeneration) {
+        if (readGeneration != generation || maxEntries <= 0 || ids.size() > maxIdsPerEntry) {
+            return;
+        }
+
+        if (entries.containsKey(key) || entries.size() < maxEntries) {
+            entries.put(key, List.copyOf(ids));
+            return;
+        }
+
+        Map.Entry<String, List<Long>> victim = entries.entrySet().iterator().next();
+        if (frequency(key) > frequency(victim.getKey())) {
+            entries.remove(victim.getKey());
+            entries.put(key, List.copyOf(ids));
+        }
+    }
+
+    /**
+     * Drops every entry whose term matches any of the given titles or authors, i.e. every
+     * search whose result set may change because a book with those values was added,
+     * changed or removed.
+     */
+    public synchronized void invalidateMatching(String... titlesAndAuthors) {
+        generation++;
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            for (String value : titlesAndAuthors) {
+                if (value != null && value.toLowerCase(Locale.ROOT).contains(key)) {
+                    keys.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private void recordAccess(String key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (sketch[row][index] < MAX_FREQUENCY) {
+                sketch[row][index]++;
+            }
+        }
+
+        if (++samples >= sampleSize) {
+            halveFrequencies();
+        }
+    }
+
+    private int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < SKETCH_DEPTH; row++) {
+            frequency = Math.min(frequency, sketch[row][indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void halveFrequencies() {
+        for (int[] row : sketch) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        samples /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * (0x9E3779B9 + (row << 1));
+        return (h ^ (h >>> 16)) & sketchMask;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
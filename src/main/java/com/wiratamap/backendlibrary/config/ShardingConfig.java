@@ -0,0 +1,33 @@
+package com.wiratamap.backendlibrary.config;
+
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import com.wiratamap.backendlibrary.sharding.ReactiveBookShards;
+import com.wiratamap.backendlibrary.sharding.ShardingProperties;
+import com.wiratamap.backendlibrary.sharding.SnowflakeIdGenerator;
+import com.wiratamap.backendlibrary.tracing.TracingDataSource;
+import com.wiratamap.backendlibrary.tracing.TracingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    BookShards bookShards(ShardingProperties properties, TracingProperties tracingProperties) {
+        return tracingProperties.enabled()
+                ? new BookShards(properties, TracingDataSource::new)
+                : new BookShards(properties, (pool, name) -> pool);
+    }
+
+    @Bean
+    ReactiveBookShards reactiveBookShards(ShardingProperties properties) {
+        return new ReactiveBookShards(properties);
+    }
+
+    @Bean
+    SnowflakeIdGenerator snowflakeIdGenerator(ShardingProperties properties) {
+        return new SnowflakeIdGenerator(properties.nodeId());
+    }
+}
@@ -0,0 +1,46 @@
+package com.wiratamap.backendlibrary.config;
+
+import com.wiratamap.backendlibrary.tracing.FileSpanExporter;
+import com.wiratamap.backendlibrary.tracing.InMemorySpanExporter;
+import com.wiratamap.backendlibrary.tracing.SlowRequestDetector;
+import com.wiratamap.backendlibrary.tracing.SpanExporter;
+import com.wiratamap.backendlibrary.tracing.TracingAdvisingPostProcessor;
+import com.wiratamap.backendlibrary.tracing.TracingFilter;
+import com.wiratamap.backendlibrary.tracing.TracingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "library.tracing.enabled", havingValue = "true", matchIfMissing = true)
+    static TracingAdvisingPostProcessor tracingAdvisingPostProcessor() {
+        return new TracingAdvisingPostProcessor();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.tracing.enabled", havingValue = "true", matchIfMissing = true)
+    TracingFilter tracingFilter(ObjectProvider<SpanExporter> spanExporters, TracingProperties properties) {
+        return new TracingFilter(spanExporters, new SlowRequestDetector(properties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.tracing.exporter", havingValue = "memory")
+    InMemorySpanExporter inMemorySpanExporter() {
+        return new InMemorySpanExporter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.tracing.exporter", havingValue = "file")
+    FileSpanExporter fileSpanExporter(TracingProperties properties, JsonMapper jsonMapper) {
+        return new FileSpanExporter(Path.of(properties.file()), jsonMapper);
+    }
+}
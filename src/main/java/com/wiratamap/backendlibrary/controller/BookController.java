@@ -2,9 +2,11 @@ package com.wiratamap.backendlibrary.controller;
 
 import com.wiratamap.backendlibrary.dto.BookDto;
 import com.wiratamap.backendlibrary.service.BookService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,7 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,8 +32,18 @@ public class BookController {
     }
 
     @GetMapping("/books")
-    public List<BookDto> findAll(@RequestParam(required = false) String search) {
-        return bookService.findAll(search);
+    public void findAll(@RequestParam(required = false) String search, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            bookService.writeAll(search, response.getOutputStream());
+        } catch (RuntimeException ex) {
+            // Drop the partial array so the exception handler can answer with an error status.
+            // Once bytes have been committed the client only sees an unterminated array.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw ex;
+        }
     }
 
     @GetMapping("/books/{id}")
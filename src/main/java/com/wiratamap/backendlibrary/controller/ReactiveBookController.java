@@ -0,0 +1,34 @@
+package com.wiratamap.backendlibrary.controller;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.service.ReactiveBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read endpoints with the same {@link BookDto} contract as {@link BookController}.
+ * Lists are streamed as newline-delimited JSON, one book per line, and the next rows are only
+ * requested from the shards once the previous ones have been written to the client.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+    private final ReactiveBookService reactiveBookService;
+
+    @GetMapping(value = "/reactive/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> findAll(@RequestParam(required = false) String search) {
+        return reactiveBookService.findAll(search);
+    }
+
+    @GetMapping("/reactive/books/{id}")
+    public Mono<BookDto> findById(@PathVariable Long id) {
+        return reactiveBookService.findById(id);
+    }
+}
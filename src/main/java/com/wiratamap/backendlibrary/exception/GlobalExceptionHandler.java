@@ -1,5 +1,9 @@
 package com.wiratamap.backendlibrary.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -43,4 +48,15 @@ public class GlobalExceptionHandler {
                 "message", ex.getMessage()
         );
     }
+
+    // Only failures a retry can get past; anything else, e.g. a constraint violation, stays a 500.
+    @ExceptionHandler({TransientDataAccessException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, Object> handleStorageUnavailableException(DataAccessException ex) {
+        log.error("Book storage request failed", ex);
+        return Map.of(
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "message", "Book storage is unavailable"
+        );
+    }
 }
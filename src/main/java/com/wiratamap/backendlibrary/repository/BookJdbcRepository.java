@@ -0,0 +1,84 @@
+package com.wiratamap.backendlibrary.repository;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Read-only access to the book table that hands each row to a callback instead of collecting
+ * {@code Book}s, so list responses can be streamed. Rows from all shards are merged in id order, and
+ * a book that is both on its old and its new shard while it is being moved is only passed on once.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookJdbcRepository {
+
+    private static final String SELECT_BOOKS = """
+    SELECT id, title, author, isbn, publication_year, genre, description, version
+        FROM book
+    """;
+
+    private final BookShards bookShards;
+
+    public void streamAll(Consumer<BookDto> rowHandler) {
+        streamLatest((shard, rows) -> shard.query(SELECT_BOOKS + "ORDER BY id",
+                (RowCallbackHandler) resultSet -> rows.accept(toVersionedBook(resultSet))), rowHandler);
+    }
+
+    public void streamByTitleOrAuthor(String search, Consumer<BookDto> rowHandler) {
+        String pattern = escapeLike(search);
+        streamLatest((shard, rows) -> shard.query(SELECT_BOOKS + """
+                        WHERE LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) ESCAPE '\\'
+                            OR LOWER(author) LIKE LOWER(CONCAT('%', ?, '%')) ESCAPE '\\'
+                        ORDER BY id
+                        """,
+                (RowCallbackHandler) resultSet -> rows.accept(toVersionedBook(resultSet)), pattern, pattern), rowHandler);
+    }
+
+    public void streamByIds(List<Long> ids, Consumer<BookDto> rowHandler) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        streamLatest((shard, rows) -> shard.query(
+                SELECT_BOOKS + "WHERE id IN (" + placeholders + ") ORDER BY id",
+                (RowCallbackHandler) resultSet -> rows.accept(toVersionedBook(resultSet)), ids.toArray()), rowHandler);
+    }
+
+    /**
+     * Escapes LIKE wildcards so that {@code search} only matches as a literal substring, the same
+     * way {@code SearchResultCache} decides which cached terms a book affects.
+     */
+    static String escapeLike(String search) {
+        return search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void streamLatest(BiConsumer<JdbcTemplate, Consumer<VersionedBook>> query, Consumer<BookDto> rowHandler) {
+        VersionedBook.LatestCopies latestCopies = new VersionedBook.LatestCopies(rowHandler);
+        bookShards.streamMerged(query, VersionedBook.BY_ID, latestCopies);
+        latestCopies.flush();
+    }
+
+    private static VersionedBook toVersionedBook(ResultSet resultSet) throws SQLException {
+        return new VersionedBook(new BookDto(
+                resultSet.getLong("id"),
+                resultSet.getString("title"),
+                resultSet.getString("author"),
+                resultSet.getString("isbn"),
+                resultSet.getString("publication_year"),
+                resultSet.getString("genre"),
+                resultSet.getString("description")
+        ), resultSet.getLong("version"));
+    }
+}
@@ -1,22 +1,154 @@
 package com.wiratamap.backendlibrary.repository;
 
 import com.wiratamap.backendlibrary.entity.Book;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import com.wiratamap.backendlibrary.sharding.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+/**
+ * Stores books across {@link BookShards}. Writes and ISBN checks go to the shard owning the ISBN;
+ * lookups by id do not know the owning shard and are scattered to all of them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookRepository {
 
-    boolean existsByIsbn(String isbn);
+    private static final RowMapper<Book> BOOK_ROW_MAPPER = (resultSet, rowNum) -> Book.builder()
+            .id(resultSet.getLong("id"))
+            .title(resultSet.getString("title"))
+            .author(resultSet.getString("author"))
+            .isbn(resultSet.getString("isbn"))
+            .publicationYear(resultSet.getString("publication_year"))
+            .genre(resultSet.getString("genre"))
+            .description(resultSet.getString("description"))
+            .build();
 
-    boolean existsByIsbnAndIdNot(String isbn, Long id);
+    private static final RowMapper<StoredCopy> STORED_COPY_ROW_MAPPER = (resultSet, rowNum) ->
+            new StoredCopy(BOOK_ROW_MAPPER.mapRow(resultSet, rowNum), resultSet.getLong("version"));
 
-    @Query("""
-    SELECT b 
-        FROM Book b 
-    WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%')) 
-        OR LOWER(b.author) LIKE LOWER(CONCAT('%', :search, '%'))
-    """)
-    List<Book> searchByTitleOrAuthor(String search);
+    private final BookShards bookShards;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    /**
+     * Inserts a new book under a freshly generated id on the shard owning its ISBN.
+     */
+    public Book save(Book book) {
+        if (book.getId() != null) {
+            throw new IllegalArgumentException("Book " + book.getId() + " is already stored, update it instead");
+        }
+
+        book.setId(idGenerator.nextId());
+        insert(bookShards.forIsbn(book.getIsbn()), book, 0);
+        return book;
+    }
+
+    /**
+     * Updates a stored book. {@code previousIsbn} locates the shard the row is on; when the new ISBN
+     * is owned by another shard the row is moved there under the same id. Every update increments
+     * the row's version.
+     * <p>
+     * A move inserts the new row before deleting the old one, so a failing insert leaves the book
+     * untouched where it was. If the old row is already gone by the time it is deleted, the book was
+     * deleted concurrently and the new row is removed again rather than resurrecting it. While a move
+     * is in progress both rows exist, and readers pick the one with the higher version.
+     *
+     * @return {@code false} if the book no longer exists
+     */
+    public boolean update(Book book, String previousIsbn) {
+        JdbcTemplate previousShard = bookShards.forIsbn(previousIsbn);
+        JdbcTemplate shard = bookShards.forIsbn(book.getIsbn());
+
+        if (shard == previousShard) {
+            return shard.update("""
+                    UPDATE book
+                        SET title = ?, author = ?, isbn = ?, publication_year = ?, genre = ?, description = ?,
+                            version = version + 1
+                    WHERE id = ?
+                    """, book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublicationYear(),
+                    book.getGenre(), book.getDescription(), book.getId()) > 0;
+        }
+
+        List<Long> versions = previousShard.queryForList("SELECT version FROM book WHERE id = ?", Long.class,
+                book.getId());
+        if (versions.isEmpty()) {
+            return false;
+        }
+        insert(shard, book, versions.getFirst() + 1);
+
+        int deleted;
+        try {
+            deleted = previousShard.update("DELETE FROM book WHERE id = ?", book.getId());
+        } catch (RuntimeException ex) {
+            removeMovedRow(shard, book.getId(), ex);
+            throw ex;
+        }
+
+        if (deleted == 0) {
+            removeMovedRow(shard, book.getId(), null);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds a book on whichever shard holds it. While the book is being moved, the copy with the
+     * higher version is returned.
+     */
+    public Optional<Book> findById(Long id) {
+        return bookShards.scatter(shard -> shard.query("SELECT * FROM book WHERE id = ?", STORED_COPY_ROW_MAPPER, id))
+                .stream()
+                .flatMap(List::stream)
+                .max(Comparator.comparingLong(StoredCopy::version))
+                .map(StoredCopy::book);
+    }
+
+    public boolean existsByIsbn(String isbn) {
+        Integer count = bookShards.forIsbn(isbn)
+                .queryForObject("SELECT COUNT(*) FROM book WHERE isbn = ?", Integer.class, isbn);
+        return count != null && count > 0;
+    }
+
+    public boolean existsByIsbnAndIdNot(String isbn, Long id) {
+        Integer count = bookShards.forIsbn(isbn)
+                .queryForObject("SELECT COUNT(*) FROM book WHERE isbn = ? AND id <> ?", Integer.class, isbn, id);
+        return count != null && count > 0;
+    }
+
+    public void deleteById(Long id) {
+        bookShards.scatter(shard -> shard.update("DELETE FROM book WHERE id = ?", id));
+    }
+
+    public void deleteAll() {
+        bookShards.scatter(shard -> shard.update("DELETE FROM book"));
+    }
+
+    private void removeMovedRow(JdbcTemplate shard, Long id, RuntimeException cause) {
+        try {
+            shard.update("DELETE FROM book WHERE id = ?", id);
+        } catch (RuntimeException ex) {
+            if (cause == null) {
+                throw ex;
+            }
+            cause.addSuppressed(ex);
+        }
+    }
+
+    private void insert(JdbcTemplate shard, Book book, long version) {
+        shard.update("""
+                INSERT INTO book (id, title, author, isbn, publication_year, genre, description, version)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublicationYear(),
+                book.getGenre(), book.getDescription(), version);
+    }
+
+    private record StoredCopy(Book book, long version) {
+    }
 }
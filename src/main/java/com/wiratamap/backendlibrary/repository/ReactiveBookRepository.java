@@ -0,0 +1,80 @@
+package com.wiratamap.backendlibrary.repository;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.sharding.ReactiveBookShards;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the book table across all shards. Results are merged in id order and a book
+ * that is being moved between shards is only emitted once, matching {@link BookJdbcRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveBookRepository {
+
+    private static final String SELECT_BOOKS = """
+    SELECT id, title, author, isbn, publication_year, genre, description, version
+        FROM book
+    """;
+
+    private final ReactiveBookShards reactiveBookShards;
+
+    public Flux<BookDto> findAll() {
+        return latestCopies(reactiveBookShards.<VersionedBook>scatterMergedInPages((shard, afterId, limit) -> shard.sql(SELECT_BOOKS + """
+                        WHERE id > :afterId
+                        ORDER BY id
+                        LIMIT :limit
+                        """)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toVersionedBook)
+                .all(), row -> row.book().id()));
+    }
+
+    public Flux<BookDto> searchByTitleOrAuthor(String search) {
+        String pattern = BookJdbcRepository.escapeLike(search);
+        return latestCopies(reactiveBookShards.<VersionedBook>scatterMergedInPages((shard, afterId, limit) -> shard.sql(SELECT_BOOKS + """
+                        WHERE (LOWER(title) LIKE LOWER(CONCAT('%', :search, '%')) ESCAPE '\\'
+                            OR LOWER(author) LIKE LOWER(CONCAT('%', :search, '%')) ESCAPE '\\')
+                            AND id > :afterId
+                        ORDER BY id
+                        LIMIT :limit
+                        """)
+                .bind("search", pattern)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveBookRepository::toVersionedBook)
+                .all(), row -> row.book().id()));
+    }
+
+    public Mono<BookDto> findById(Long id) {
+        return reactiveBookShards.scatterMerged(shard -> shard.sql(SELECT_BOOKS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toVersionedBook)
+                .all(), VersionedBook.BY_ID)
+                .collectList()
+                .filter(copies -> !copies.isEmpty())
+                .map(copies -> VersionedBook.latest(copies).book());
+    }
+
+    private static Flux<BookDto> latestCopies(Flux<VersionedBook> rows) {
+        return rows.bufferUntilChanged(row -> row.book().id())
+                .map(copies -> VersionedBook.latest(copies).book());
+    }
+
+    private static VersionedBook toVersionedBook(Readable row) {
+        return new VersionedBook(new BookDto(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("author", String.class),
+                row.get("isbn", String.class),
+                row.get("publication_year", String.class),
+                row.get("genre", String.class),
+                row.get("description", String.class)
+        ), row.get("version", Long.class));
+    }
+}
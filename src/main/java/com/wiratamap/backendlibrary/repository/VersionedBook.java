@@ -0,0 +1,60 @@
+package com.wiratamap.backendlibrary.repository;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A book row together with its version, which every update increments. While a book is being moved
+ * to the shard owning its new ISBN it is stored on both shards under the same id for a moment; the
+ * copy with the higher version is the current one.
+ */
+record VersionedBook(BookDto book, long version) {
+
+    static final Comparator<VersionedBook> BY_ID = Comparator.comparing(row -> row.book().id());
+
+    static VersionedBook latest(List<VersionedBook> copies) {
+        VersionedBook latest = copies.getFirst();
+        for (VersionedBook copy : copies) {
+            if (copy.version() > latest.version()) {
+                latest = copy;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Passes on only the current copy of every book from rows merged in id order, where copies of
+     * the same book are adjacent. A book is passed on once a row with another id arrives, the last
+     * one on {@link #flush()}.
+     */
+    static final class LatestCopies implements Consumer<VersionedBook> {
+
+        private final Consumer<BookDto> downstream;
+
+        private VersionedBook pending;
+
+        LatestCopies(Consumer<BookDto> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(VersionedBook row) {
+            if (pending == null || !pending.book().id().equals(row.book().id())) {
+                flush();
+                pending = row;
+            } else if (row.version() > pending.version()) {
+                pending = row;
+            }
+        }
+
+        void flush() {
+            if (pending != null) {
+                downstream.accept(pending.book());
+                pending = null;
+            }
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.wiratamap.backendlibrary.service;
 
+import com.wiratamap.backendlibrary.cache.SearchResultCache;
 import com.wiratamap.backendlibrary.dto.BookDto;
 import com.wiratamap.backendlibrary.entity.Book;
 import com.wiratamap.backendlibrary.exception.DuplicateRecordException;
 import com.wiratamap.backendlibrary.exception.RecordNotFoundException;
+import com.wiratamap.backendlibrary.repository.BookJdbcRepository;
 import com.wiratamap.backendlibrary.repository.BookRepository;
+import com.wiratamap.backendlibrary.tracing.RequestTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -18,22 +27,52 @@ public class BookService {
 
     private final BookRepository bookRepository;
 
+    private final BookJdbcRepository bookJdbcRepository;
+
+    private final SearchResultCache searchResultCache;
+
+    private final JsonMapper jsonMapper;
+
     public BookDto create(BookDto bookDto) {
         validateIsbnUnique(bookDto.isbn(), null);
 
         Book book = toEntity(bookDto);
-        Book savedBook = bookRepository.save(book);
+        Book savedBook = save(book);
+        searchResultCache.invalidateMatching(savedBook.getTitle(), savedBook.getAuthor());
         return toDto(savedBook);
     }
 
-    public List<BookDto> findAll(String search) {
-        List<Book> books = (search == null || search.isBlank())
-                ? bookRepository.findAll()
-                : bookRepository.searchByTitleOrAuthor(search);
+    /**
+     * Writes the books matching {@code search} (or all books when it is blank) as a JSON
+     * array while the rows are read, without collecting them into a list first.
+     * <p>
+     * The generator is only closed once every row has been written. If reading fails midway it
+     * is left open on purpose: closing it would append the missing {@code ]} and pass a truncated
+     * list off as a complete one. Time spent writing rows is traced as a separate
+     * {@code json.serialize} span, apart from the time spent fetching them.
+     */
+    public void writeAll(String search, OutputStream outputStream) {
+        JsonGenerator generator = jsonMapper.createGenerator(outputStream);
+        generator.writeStartArray();
+
+        try (RequestTrace.Accumulator serialization = RequestTrace.accumulate("json.serialize", "json.rows")) {
+            Consumer<BookDto> rowHandler = !serialization.active()
+                    ? book -> writeRow(book, generator)
+                    : book -> {
+                        long start = System.nanoTime();
+                        writeRow(book, generator);
+                        serialization.add(start, 1);
+                    };
+
+            if (search == null || search.isBlank()) {
+                bookJdbcRepository.streamAll(rowHandler);
+            } else {
+                streamSearchResults(search, rowHandler);
+            }
+        }
 
-        return books.stream()
-            .map(this::toDto)
-            .toList();
+        generator.writeEndArray();
+        generator.close();
     }
 
     public BookDto findById(Long id) {
@@ -41,14 +80,19 @@ public class BookService {
     }
 
     public void delete(Long id) {
-        findBookById(id);
+        Book book = findBookById(id);
         bookRepository.deleteById(id);
+        searchResultCache.invalidateMatching(book.getTitle(), book.getAuthor());
     }
 
     public BookDto update(Long id, BookDto bookDto) {
         Book book = findBookById(id);
         validateIsbnUnique(bookDto.isbn(), id);
 
+        String previousTitle = book.getTitle();
+        String previousAuthor = book.getAuthor();
+        String previousIsbn = book.getIsbn();
+
         book.setTitle(bookDto.title());
         book.setAuthor(bookDto.author());
         book.setIsbn(bookDto.isbn());
@@ -56,8 +100,43 @@ public class BookService {
         book.setGenre(bookDto.genre());
         book.setDescription(bookDto.description());
 
-        Book updatedBook = bookRepository.save(book);
-        return toDto(updatedBook);
+        try {
+            if (!bookRepository.update(book, previousIsbn)) {
+                throw new RecordNotFoundException("Book not found with id: " + id);
+            }
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateRecordException("Book with ISBN " + book.getIsbn() + " already exists");
+        }
+        searchResultCache.invalidateMatching(previousTitle, previousAuthor, book.getTitle(), book.getAuthor());
+        return toDto(book);
+    }
+
+    private void streamSearchResults(String search, Consumer<BookDto> rowHandler) {
+        String key = SearchResultCache.normalize(search);
+        List<Long> cachedIds = searchResultCache.get(key);
+        if (cachedIds != null) {
+            bookJdbcRepository.streamByIds(cachedIds, rowHandler);
+            return;
+        }
+
+        long generation = searchResultCache.generation();
+        int maxIds = searchResultCache.maxIdsPerEntry();
+        List<Long> ids = new ArrayList<>();
+        bookJdbcRepository.streamByTitleOrAuthor(key, book -> {
+            if (ids.size() <= maxIds) {
+                ids.add(book.id());
+            }
+            rowHandler.accept(book);
+        });
+        searchResultCache.put(key, ids, generation);
+    }
+
+    private Book save(Book book) {
+        try {
+            return bookRepository.save(book);
+        } catch (DuplicateKeyException ex) {
+            throw new DuplicateRecordException("Book with ISBN " + book.getIsbn() + " already exists");
+        }
     }
 
     private Book findBookById(Long id) {
@@ -75,6 +154,18 @@ public class BookService {
         }
     }
 
+    private void writeRow(BookDto book, JsonGenerator generator) {
+        generator.writeStartObject();
+        generator.writeNumberProperty("id", book.id());
+        generator.writeStringProperty("title", book.title());
+        generator.writeStringProperty("author", book.author());
+        generator.writeStringProperty("isbn", book.isbn());
+        generator.writeStringProperty("publicationYear", book.publicationYear());
+        generator.writeStringProperty("genre", book.genre());
+        generator.writeStringProperty("description", book.description());
+        generator.writeEndObject();
+    }
+
     private Book toEntity(BookDto bookDto) {
         return Book.builder()
                 .title(bookDto.title())
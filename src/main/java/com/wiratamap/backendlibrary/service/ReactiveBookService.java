@@ -0,0 +1,28 @@
+package com.wiratamap.backendlibrary.service;
+
+import com.wiratamap.backendlibrary.cache.SearchResultCache;
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.exception.RecordNotFoundException;
+import com.wiratamap.backendlibrary.repository.ReactiveBookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+
+    public Flux<BookDto> findAll(String search) {
+        return (search == null || search.isBlank())
+                ? reactiveBookRepository.findAll()
+                : reactiveBookRepository.searchByTitleOrAuthor(SearchResultCache.normalize(search));
+    }
+
+    public Mono<BookDto> findById(Long id) {
+        return reactiveBookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RecordNotFoundException("Book not found with id: " + id)));
+    }
+}
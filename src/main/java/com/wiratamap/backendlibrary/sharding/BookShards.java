@@ -0,0 +1,192 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import com.wiratamap.backendlibrary.tracing.RequestTrace;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The databases the book table is partitioned across. A book is stored on the shard chosen by
+ * the hash of its ISBN, so ISBN lookups and the unique ISBN constraint only ever involve one shard.
+ * Everything else is scattered to all shards in parallel on virtual threads.
+ */
+public class BookShards implements AutoCloseable {
+
+    private static final int MERGE_BUFFER_SIZE = 256;
+
+    private static final Object END_OF_SHARD = new Object();
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param decorator applied to each shard's pool together with the pool name before queries use it,
+     *                  e.g. to trace it; return the pool itself to use it undecorated
+     */
+    public BookShards(ShardingProperties properties, BiFunction<DataSource, String, DataSource> decorator) {
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/book-schema.sql"));
+        List<String> urls = properties.urls();
+
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("book-shard-" + i);
+            pool.setJdbcUrl(urls.get(i));
+            pool.setUsername(properties.username());
+            pool.setPassword(properties.password());
+            pool.setMaximumPoolSize(properties.maxPoolSize());
+            pools.add(pool);
+
+            schema.execute(pool);
+            shards.add(new JdbcTemplate(decorator.apply(pool, pool.getPoolName())));
+        }
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public JdbcTemplate forIsbn(String isbn) {
+        return shards.get(Math.floorMod(isbn.hashCode(), shards.size()));
+    }
+
+    public List<JdbcTemplate> all() {
+        return List.copyOf(shards);
+    }
+
+    /**
+     * Runs {@code query} against every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<Future<T>> futures = shards.stream()
+                .map(shard -> executor.submit(RequestTrace.propagate(() -> query.apply(shard))))
+                .toList();
+
+        try {
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Runs {@code query} against every shard in parallel and passes the rows to {@code sink} merged
+     * into one sequence by {@code order}. Each shard must produce its rows already sorted by
+     * {@code order}. Only a small buffer per shard is held in memory; a shard query blocks while
+     * its buffer is full.
+     */
+    public <T> void streamMerged(BiConsumer<JdbcTemplate, Consumer<T>> query, Comparator<? super T> order,
+                                 Consumer<? super T> sink) {
+        List<BlockingQueue<Object>> buffers = new ArrayList<>(shards.size());
+        List<Future<Object>> futures = new ArrayList<>(shards.size());
+
+        for (JdbcTemplate shard : shards) {
+            BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(MERGE_BUFFER_SIZE);
+            buffers.add(buffer);
+            futures.add(executor.submit(RequestTrace.propagate(() -> {
+                try {
+                    query.accept(shard, row -> put(buffer, row));
+                } finally {
+                    put(buffer, END_OF_SHARD);
+                }
+                return null;
+            })));
+        }
+
+        try {
+            PriorityQueue<ShardHead<T>> heads = new PriorityQueue<>(shards.size(),
+                    (left, right) -> order.compare(left.row(), right.row()));
+            for (int i = 0; i < shards.size(); i++) {
+                advance(i, buffers, futures, heads);
+            }
+
+            while (!heads.isEmpty()) {
+                ShardHead<T> head = heads.poll();
+                sink.accept(head.row());
+                advance(head.shard(), buffers, futures, heads);
+            }
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void advance(int shard, List<BlockingQueue<Object>> buffers, List<Future<Object>> futures,
+                             PriorityQueue<ShardHead<T>> heads) {
+        Object row = take(buffers.get(shard));
+        if (row == END_OF_SHARD) {
+            await(futures.get(shard));
+        } else {
+            heads.add(new ShardHead<>((T) row, shard));
+        }
+    }
+
+    private static void put(BlockingQueue<Object> buffer, Object row) {
+        try {
+            buffer.put(row);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Shard query was cancelled");
+        }
+    }
+
+    private static Object take(BlockingQueue<Object> buffer) {
+        try {
+            return buffer.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for shard results");
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for shard results");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shard query failed", ex.getCause());
+        }
+    }
+
+    private record ShardHead<T>(T row, int shard) {
+    }
+}
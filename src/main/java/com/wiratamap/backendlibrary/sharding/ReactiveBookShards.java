@@ -0,0 +1,89 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking view of the same shards as {@link BookShards}, one R2DBC connection pool per shard.
+ * Long reads are split into keyset pages, so a connection is only held while one page is read
+ * rather than for as long as a slow client takes to consume the whole response.
+ */
+public class ReactiveBookShards implements AutoCloseable {
+
+    private static final int MERGE_PREFETCH = 32;
+
+    private static final int PAGE_SIZE = 256;
+
+    private final List<ConnectionPool> pools = new ArrayList<>();
+
+    private final List<DatabaseClient> shards = new ArrayList<>();
+
+    public ReactiveBookShards(ShardingProperties properties) {
+        for (String url : properties.r2dbcUrls()) {
+            ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                    .option(ConnectionFactoryOptions.USER, properties.username())
+                    .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                    .build();
+            ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                    .initialSize(0)
+                    .maxSize(properties.maxPoolSize())
+                    .build());
+            pools.add(pool);
+            shards.add(DatabaseClient.create(pool));
+        }
+    }
+
+    /**
+     * Subscribes to {@code query} on every shard and merges the rows into one stream ordered by
+     * {@code order}. Each shard must emit its rows already sorted by {@code order}; downstream
+     * demand is forwarded to the shards in batches of {@value #MERGE_PREFETCH} rows.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> scatterMerged(Function<DatabaseClient, Flux<T>> query, Comparator<? super T> order) {
+        Flux<T>[] sources = shards.stream().map(query).toArray(Flux[]::new);
+        return Flux.mergeComparing(MERGE_PREFETCH, order, sources);
+    }
+
+    /**
+     * Like {@link #scatterMerged(Function, Comparator)}, but reads every shard in pages of
+     * {@value #PAGE_SIZE} rows ordered by {@code keyOf}. Each page is its own query for the rows after
+     * the last key of the previous page and releases its connection once read; the next page is only
+     * queried when downstream demand reaches it, at most one page ahead.
+     */
+    public <T> Flux<T> scatterMergedInPages(PageQuery<T> query, Function<? super T, Long> keyOf) {
+        return scatterMerged(shard -> pages(shard, query, keyOf), Comparator.comparing(keyOf));
+    }
+
+    private static <T> Flux<T> pages(DatabaseClient shard, PageQuery<T> query, Function<? super T, Long> keyOf) {
+        return query.fetch(shard, Long.MIN_VALUE, PAGE_SIZE).collectList()
+                .expand(page -> page.size() < PAGE_SIZE
+                        ? Mono.empty()
+                        : query.fetch(shard, keyOf.apply(page.getLast()), PAGE_SIZE).collectList())
+                .concatMapIterable(Function.identity(), 1);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(ConnectionPool::dispose);
+    }
+
+    /**
+     * One keyset page of a shard: at most {@code limit} rows whose key is greater than {@code afterKey},
+     * in ascending key order.
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+
+        Flux<T> fetch(DatabaseClient shard, long afterKey, int limit);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @param urls JDBC URL of every book shard; a book lives on the shard picked by the hash of its ISBN,
+ *             so changing this list requires redistributing existing rows
+ * @param username user every shard is connected as, by both the JDBC and the R2DBC pools
+ * @param password password of {@code username}
+ * @param maxPoolSize maximum number of connections each pool holds per shard
+ * @param nodeId id of this application instance, embedded in generated book ids so that instances
+ *               never hand out the same id (0 to {@value SnowflakeIdGenerator#MAX_NODE_ID})
+ */
+@ConfigurationProperties("library.sharding")
+public record ShardingProperties(
+        @DefaultValue("jdbc:h2:mem:books-0;DB_CLOSE_DELAY=-1") List<String> urls,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("10") int maxPoolSize,
+        @DefaultValue("0") int nodeId
+) {
+
+    private static final Pattern H2_URL = Pattern.compile("jdbc:h2:(mem|file):([^;]+)(?:;(.*))?");
+
+    /**
+     * R2DBC URL of every shard, in the same order as {@link #urls()}, for the reactive read endpoints.
+     * They are derived rather than configured so that both stacks can never point at different databases.
+     *
+     * @throws IllegalStateException if a shard is not an in-memory or file based H2 database
+     */
+    public List<String> r2dbcUrls() {
+        return urls.stream()
+                .map(ShardingProperties::toR2dbcUrl)
+                .toList();
+    }
+
+    private static String toR2dbcUrl(String jdbcUrl) {
+        Matcher matcher = H2_URL.matcher(jdbcUrl);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from shard URL " + jdbcUrl
+                    + ", only jdbc:h2:mem: and jdbc:h2:file: URLs are supported");
+        }
+
+        String url = "r2dbc:h2:" + matcher.group(1) + ":///" + matcher.group(2);
+        return matcher.group(3) == null ? url : url + "?options=" + matcher.group(3);
+    }
+}
@@ -0,0 +1,53 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import java.time.Instant;
+
+/**
+ * Generates roughly time-ordered ids without coordinating with other instances or shards.
+ * <p>
+ * An id is 41 bits of milliseconds since {@link #EPOCH}, 4 bits of node id and an 8-bit
+ * per-millisecond sequence. Keeping ids within 53 bits means they survive a round trip
+ * through JavaScript numbers. When the sequence runs out or the clock steps back, the
+ * generator keeps counting from its last timestamp instead of blocking.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final int MAX_NODE_ID = 15;
+
+    private static final long EPOCH = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 4;
+
+    private static final int SEQUENCE_BITS = 8;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+
+    private long lastTimestamp = -1;
+
+    private long sequence;
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
@@ -0,0 +1,39 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path file;
+
+    private final JsonMapper jsonMapper;
+
+    @Override
+    public synchronized void export(List<SpanData> spans) {
+        StringBuilder lines = new StringBuilder();
+        for (SpanData span : spans) {
+            lines.append(jsonMapper.writeValueAsString(span)).append('\n');
+        }
+
+        try {
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            log.warn("Failed to export {} spans to {}", spans.size(), file, ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final List<SpanData> finishedSpans = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void export(List<SpanData> spans) {
+        finishedSpans.addAll(spans);
+    }
+
+    public List<SpanData> getFinishedSpans() {
+        return List.copyOf(finishedSpans);
+    }
+
+    public void reset() {
+        finishedSpans.clear();
+    }
+}
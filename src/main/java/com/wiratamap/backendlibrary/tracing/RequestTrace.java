@@ -0,0 +1,274 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spans and SQL statistics collected while serving one request. The trace is bound to the
+ * request thread; work handed to other threads can record statements and fetches on it through
+ * {@link #propagate(Callable)}, while spans are only opened and closed on the request thread.
+ */
+public class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final String traceId = UUID.randomUUID().toString().replace("-", "");
+
+    private final long startNanos = System.nanoTime();
+
+    private final long startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+
+    private final Deque<Span> openSpans = new ArrayDeque<>();
+
+    private final List<SpanData> finishedSpans = new ArrayList<>();
+
+    private final Map<StatementKey, Integer> statementCounts = new LinkedHashMap<>();
+
+    private final Map<String, Integer> statementCountsByDataSource = new LinkedHashMap<>();
+
+    private int nextSpanId = 1;
+
+    private int statementCount;
+
+    private long statementNanos;
+
+    private long connectionAcquisitionNanos;
+
+    public static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Wraps {@code task} so that it runs with the calling thread's trace, if any, as its current trace.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return task;
+        }
+
+        return () -> {
+            CURRENT.set(trace);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public void end() {
+        while (!openSpans.isEmpty()) {
+            openSpans.peek().close();
+        }
+        detach();
+    }
+
+    /**
+     * Unbinds the trace from the calling thread, if it is bound there, leaving its spans open so that
+     * the request can be finished on another thread.
+     */
+    public void detach() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public synchronized Span startSpan(String name) {
+        Span parent = openSpans.peek();
+        Span span = new Span(nextSpanId++, parent == null ? null : parent.id, name);
+        openSpans.push(span);
+        return span;
+    }
+
+    /**
+     * Starts accumulating the time of work that is interleaved with other work, see {@link Accumulator}.
+     */
+    public static Accumulator accumulate(String name, String unitAttribute) {
+        return new Accumulator(CURRENT.get(), name, unitAttribute);
+    }
+
+    /**
+     * Records a connection checkout as a {@code db.connection.acquire} child span of the currently open span.
+     */
+    public synchronized void recordConnectionAcquisition(String pool, long acquisitionStartNanos, long nanos) {
+        connectionAcquisitionNanos += nanos;
+        recordSpan("db.connection.acquire", acquisitionStartNanos, nanos, Map.of("db.pool", pool));
+    }
+
+    /**
+     * Records a completed SQL statement as a {@code db.query} child span of the currently open span.
+     * Statements are counted per data source, so a query scattered to every shard counts once per shard
+     * rather than as one statement repeated.
+     */
+    public synchronized void recordStatement(String dataSource, String sql, long statementStartNanos, long nanos) {
+        statementCount++;
+        statementNanos += nanos;
+        statementCounts.merge(new StatementKey(dataSource, sql), 1, Integer::sum);
+        statementCountsByDataSource.merge(dataSource, 1, Integer::sum);
+
+        recordSpan("db.query", statementStartNanos, nanos, Map.of("db.pool", dataSource, "db.statement", sql));
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    public synchronized List<SpanData> finishedSpans() {
+        return List.copyOf(finishedSpans);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public synchronized int statementCount() {
+        return statementCount;
+    }
+
+    public synchronized long statementNanos() {
+        return statementNanos;
+    }
+
+    public synchronized long connectionAcquisitionNanos() {
+        return connectionAcquisitionNanos;
+    }
+
+    public synchronized Map<StatementKey, Integer> statementCounts() {
+        return new LinkedHashMap<>(statementCounts);
+    }
+
+    public synchronized Map<String, Integer> statementCountsByDataSource() {
+        return new LinkedHashMap<>(statementCountsByDataSource);
+    }
+
+    private synchronized void recordSpan(String name, long spanStartNanos, long nanos, Map<String, Object> attributes) {
+        Span parent = openSpans.peek();
+        finishedSpans.add(new SpanData(traceId, nextSpanId++, parent == null ? null : parent.id,
+                name, toEpochMicros(spanStartNanos), TimeUnit.NANOSECONDS.toMicros(nanos), attributes));
+    }
+
+    private long toEpochMicros(long nanos) {
+        return startEpochMicros + TimeUnit.NANOSECONDS.toMicros(nanos - startNanos);
+    }
+
+    public final class Span implements AutoCloseable {
+
+        private final int id;
+
+        private final Integer parentId;
+
+        private final String name;
+
+        private final long spanStartNanos = System.nanoTime();
+
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        private boolean closed;
+
+        private Span(int id, Integer parentId, String name) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+        }
+
+        public Span setAttribute(String key, Object value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            synchronized (RequestTrace.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                openSpans.remove(this);
+                finishedSpans.add(new SpanData(traceId, id, parentId, name, toEpochMicros(spanStartNanos),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - spanStartNanos), Map.copyOf(attributes)));
+            }
+        }
+    }
+
+    public record StatementKey(String dataSource, String sql) {
+    }
+
+    /**
+     * Sums the time of work that is interleaved with other work, such as fetching the next row while
+     * the previous one is still being written, and records it as one child span of the currently open
+     * span when closed. The span starts at the first timed call and lasts as long as all timed calls
+     * together. Does nothing when created outside a trace; an instance is used by one thread only.
+     */
+    public static final class Accumulator implements AutoCloseable {
+
+        private final RequestTrace trace;
+
+        private final String name;
+
+        private final String unitAttribute;
+
+        private long firstStartNanos;
+
+        private long nanos;
+
+        private int units;
+
+        private boolean started;
+
+        private boolean closed;
+
+        private Accumulator(RequestTrace trace, String name, String unitAttribute) {
+            this.trace = trace;
+            this.name = name;
+            this.unitAttribute = unitAttribute;
+        }
+
+        /**
+         * Whether timings are recorded, i.e. the accumulator was created within a trace. Callers can skip
+         * reading the clock when it is not.
+         */
+        public boolean active() {
+            return trace != null;
+        }
+
+        /**
+         * Adds the time from {@code startNanos} until now, covering {@code addedUnits} units of work.
+         */
+        public void add(long startNanos, int addedUnits) {
+            if (trace == null) {
+                return;
+            }
+
+            long endNanos = System.nanoTime();
+            if (!started) {
+                started = true;
+                firstStartNanos = startNanos;
+            }
+            nanos += endNanos - startNanos;
+            units += addedUnits;
+        }
+
+        @Override
+        public void close() {
+            if (trace == null || !started || closed) {
+                return;
+            }
+            closed = true;
+            trace.recordSpan(name, firstStartNanos, nanos, Map.of(unitAttribute, units));
+        }
+    }
+}
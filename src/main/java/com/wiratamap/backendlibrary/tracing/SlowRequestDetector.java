@@ -0,0 +1,58 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs requests that were slow, ran a slow SQL statement, issued too many SQL statements, or repeated the same
+ * statement often enough to suggest an N+1 access pattern. Statement counts are judged per
+ * shard, since a query scattered to every shard is one round trip, not a repeat.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SlowRequestDetector {
+
+    private final TracingProperties properties;
+
+    public void inspect(String request, RequestTrace trace, long durationNanos) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+
+        if (durationMillis >= properties.slowRequestThreshold().toMillis()) {
+            log.warn("Slow request {} took {} ms: connection acquisition {} ms, {} SQL statements in {} ms (trace {})",
+                    request,
+                    durationMillis,
+                    TimeUnit.NANOSECONDS.toMillis(trace.connectionAcquisitionNanos()),
+                    trace.statementCount(),
+                    TimeUnit.NANOSECONDS.toMillis(trace.statementNanos()),
+                    trace.traceId());
+        }
+
+        long slowStatementMicros = properties.slowStatementThreshold().toNanos() / 1_000;
+        for (SpanData span : trace.finishedSpans()) {
+            if (span.name().equals("db.query") && span.durationMicros() >= slowStatementMicros) {
+                log.warn("Slow SQL statement in request {} took {} ms on {}: {} (trace {})",
+                        request,
+                        TimeUnit.MICROSECONDS.toMillis(span.durationMicros()),
+                        span.attributes().get("db.pool"),
+                        span.attributes().get("db.statement"),
+                        trace.traceId());
+            }
+        }
+
+        trace.statementCountsByDataSource().forEach((dataSource, count) -> {
+            if (count >= properties.statementCountThreshold()) {
+                log.warn("Request {} issued {} SQL statements on {} (trace {})",
+                        request, count, dataSource, trace.traceId());
+            }
+        });
+
+        trace.statementCounts().forEach((statement, count) -> {
+            if (count >= properties.repeatedStatementThreshold()) {
+                log.warn("Possible N+1 in request {}: statement executed {} times on {}: {} (trace {})",
+                        request, count, statement.dataSource(), statement.sql(), trace.traceId());
+            }
+        });
+    }
+}
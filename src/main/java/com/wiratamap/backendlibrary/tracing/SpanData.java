@@ -0,0 +1,14 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import java.util.Map;
+
+public record SpanData(
+        String traceId,
+        int spanId,
+        Integer parentSpanId,
+        String name,
+        long startEpochMicros,
+        long durationMicros,
+        Map<String, Object> attributes
+) {
+}
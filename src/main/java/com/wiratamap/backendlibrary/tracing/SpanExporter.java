@@ -0,0 +1,8 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import java.util.List;
+
+public interface SpanExporter {
+
+    void export(List<SpanData> spans);
+}
@@ -0,0 +1,54 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps every call into the application's controllers, services and repositories in a span
+ * of the current {@link RequestTrace}.
+ */
+public class TracingAdvisingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private static final String APPLICATION_PACKAGE = "com.wiratamap.backendlibrary.";
+
+    public TracingAdvisingPostProcessor() {
+        ClassFilter tracedComponents = clazz -> clazz.getName().startsWith(APPLICATION_PACKAGE)
+                && (AnnotatedElementUtils.hasAnnotation(clazz, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(clazz, Service.class)
+                || AnnotatedElementUtils.hasAnnotation(clazz, Repository.class));
+
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(tracedComponents), new TracingInterceptor());
+        this.beforeExistingAdvisors = true;
+        setProxyTargetClass(true);
+    }
+
+    private static class TracingInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RequestTrace trace = RequestTrace.current();
+            if (trace == null || invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+
+            String componentName = ClassUtils.getUserClass(invocation.getThis()).getSimpleName();
+            try (RequestTrace.Span span = trace.startSpan(componentName + "." + invocation.getMethod().getName())) {
+                try {
+                    return invocation.proceed();
+                } catch (Throwable ex) {
+                    span.setAttribute("error", ex.getClass().getName());
+                    throw ex;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times connection acquisition, every statement execution and the fetching of result rows of the
+ * wrapped pool and records them on the {@link RequestTrace} of the calling thread, if any. Row
+ * fetches are timed around {@link ResultSet#next()} only, so the time the caller spends handling
+ * each row is not attributed to the database.
+ * <p>
+ * Connections and statements are JDK proxies, which costs a reflective call per method; result sets
+ * are wrapped by the plain {@link TracingResultSet} instead, since their getters run for every column
+ * of every row. Shards are only wrapped at all while {@code library.tracing.enabled} is on.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final String name;
+
+    public TracingDataSource(DataSource targetDataSource, String name) {
+        super(targetDataSource);
+        this.name = name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        return traced(connection, start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        return traced(connection, start);
+    }
+
+    private Connection traced(Connection connection, long acquisitionStart) {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.recordConnectionAcquisition(name, acquisitionStart, System.nanoTime() - acquisitionStart);
+        }
+        return (Connection) proxy(Connection.class, new ConnectionHandler(connection, name));
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target, String dataSource) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result = TracingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, dataSource, sql));
+            }
+            return result;
+        }
+    }
+
+    private record StatementHandler(Statement target, String dataSource, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            RequestTrace trace = RequestTrace.current();
+            if (trace == null) {
+                return TracingDataSource.invoke(target, method, args);
+            }
+
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    result = TracingDataSource.invoke(target, method, args);
+                } finally {
+                    trace.recordStatement(dataSource, sql == null ? "<batch>" : sql, start, System.nanoTime() - start);
+                }
+            } else {
+                result = TracingDataSource.invoke(target, method, args);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return new TracingResultSet(resultSet, RequestTrace.accumulate("db.fetch", "db.rows"));
+            }
+            return result;
+        }
+    }
+}
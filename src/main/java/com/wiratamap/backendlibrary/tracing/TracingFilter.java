@@ -0,0 +1,91 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a {@link RequestTrace} for every HTTP request, opens its root span and, once the
+ * response is written, hands the finished spans to the exporters and the slow request detector.
+ * For requests that go async, such as the reactive endpoints, the response is only complete once
+ * the async context completes, so the trace is finished from an {@link AsyncListener} instead.
+ */
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final ObjectProvider<SpanExporter> spanExporters;
+
+    private final SlowRequestDetector slowRequestDetector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestName = request.getMethod() + " " + request.getRequestURI();
+        RequestTrace trace = RequestTrace.begin();
+        RequestTrace.Span span = trace.startSpan(requestName);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                trace.detach();
+                request.getAsyncContext().addListener(new FinishOnComplete(requestName, trace, span, response));
+            } else {
+                finish(requestName, trace, span, response);
+            }
+        }
+    }
+
+    private void finish(String requestName, RequestTrace trace, RequestTrace.Span span, HttpServletResponse response) {
+        span.setAttribute("http.status", response.getStatus())
+                .setAttribute("db.connection.acquisition.micros",
+                        TimeUnit.NANOSECONDS.toMicros(trace.connectionAcquisitionNanos()))
+                .setAttribute("db.statement.count", trace.statementCount())
+                .setAttribute("db.statement.micros", TimeUnit.NANOSECONDS.toMicros(trace.statementNanos()));
+        span.close();
+
+        long durationNanos = trace.elapsedNanos();
+        trace.end();
+        spanExporters.orderedStream().forEach(exporter -> exporter.export(trace.finishedSpans()));
+        slowRequestDetector.inspect(requestName, trace, durationNanos);
+    }
+
+    @RequiredArgsConstructor
+    private class FinishOnComplete implements AsyncListener {
+
+        private final String requestName;
+
+        private final RequestTrace trace;
+
+        private final RequestTrace.Span span;
+
+        private final HttpServletResponse response;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(requestName, trace, span, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
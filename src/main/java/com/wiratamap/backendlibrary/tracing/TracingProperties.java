@@ -0,0 +1,30 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether requests are traced at all; when off, no trace is started, components are not
+ *                proxied and shard connections are used unwrapped
+ * @param exporter where finished spans go: {@code none}, {@code memory} or {@code file}
+ * @param file target of the {@code file} exporter
+ * @param slowRequestThreshold requests taking at least this long are logged with their DB breakdown
+ * @param slowStatementThreshold single SQL statements taking at least this long are logged with their pool
+ *                               and SQL
+ * @param statementCountThreshold requests issuing at least this many SQL statements on one shard are logged
+ * @param repeatedStatementThreshold a single statement executed at least this many times on one shard in
+ *                                   one request is logged as a possible N+1
+ */
+@ConfigurationProperties("library.tracing")
+public record TracingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("none") String exporter,
+        @DefaultValue("traces.jsonl") String file,
+        @DefaultValue("500ms") Duration slowRequestThreshold,
+        @DefaultValue("100ms") Duration slowStatementThreshold,
+        @DefaultValue("20") int statementCountThreshold,
+        @DefaultValue("5") int repeatedStatementThreshold
+) {
+}
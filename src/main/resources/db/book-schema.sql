@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS book (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    isbn VARCHAR(255) UNIQUE,
+    publication_year VARCHAR(255),
+    genre VARCHAR(255),
+    description CHARACTER VARYING,
+    version BIGINT NOT NULL DEFAULT 0
+);
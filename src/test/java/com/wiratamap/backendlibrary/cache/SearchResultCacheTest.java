@@ -0,0 +1,96 @@
+package com.wiratamap.backendlibrary.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SearchResultCacheTest {
+
+    @Test
+    void put_shouldKeepHotKey_whenCacheIsFullAndOneOffKeysKeepArriving() {
+        SearchResultCache cache = new SearchResultCache(100, 500);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("gianti");
+        }
+        cache.put("gianti", List.of(1L), cache.generation());
+        for (int i = 0; i < 99; i++) {
+            String key = "filler-" + i;
+            cache.get(key);
+            cache.put(key, List.of((long) i), cache.generation());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String key = "one-off-" + i;
+            assertThat(cache.get(key), is(nullValue()));
+            cache.put(key, List.of((long) i), cache.generation());
+        }
+
+        assertThat(cache.get("gianti"), contains(1L));
+    }
+
+    @Test
+    void put_shouldReplaceLeastRecentlyUsedKey_whenNewKeyIsSearchedMoreOften() {
+        SearchResultCache cache = new SearchResultCache(2, 500);
+        cache.get("mommy");
+        cache.put("mommy", List.of(1L), cache.generation());
+        cache.get("gianti");
+        cache.put("gianti", List.of(2L), cache.generation());
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("atomic");
+        }
+        cache.put("atomic", List.of(3L), cache.generation());
+
+        assertThat(cache.get("atomic"), contains(3L));
+        assertThat(cache.get("gianti"), contains(2L));
+        assertThat(cache.get("mommy"), is(nullValue()));
+    }
+
+    @Test
+    void invalidateMatching_shouldOnlyDropEntriesMatchedByGivenValues() {
+        SearchResultCache cache = new SearchResultCache(100, 500);
+        cache.put("mommy", List.of(1L), cache.generation());
+        cache.put("gianti", List.of(2L), cache.generation());
+
+        cache.invalidateMatching("Dear Mommy", "Someone Else");
+
+        assertThat(cache.get("mommy"), is(nullValue()));
+        assertThat(cache.get("gianti"), contains(2L));
+    }
+
+    @Test
+    void invalidateMatching_shouldMatchWildcardCharactersLiterally() {
+        SearchResultCache cache = new SearchResultCache(100, 500);
+        cache.put("50%", List.of(1L), cache.generation());
+
+        cache.invalidateMatching("Diskon 500 Buku", "Gianti Amanda");
+
+        assertThat(cache.get("50%"), contains(1L));
+    }
+
+    @Test
+    void put_shouldIgnoreResult_whenInvalidatedSinceGenerationWasRead() {
+        SearchResultCache cache = new SearchResultCache(100, 500);
+        long generation = cache.generation();
+
+        cache.invalidateMatching("Dear Mommy", "Gianti Amanda");
+        cache.put("mommy", List.of(1L), generation);
+
+        assertThat(cache.get("mommy"), is(nullValue()));
+    }
+
+    @Test
+    void put_shouldIgnoreResult_whenItHasMoreIdsThanTheCap() {
+        SearchResultCache cache = new SearchResultCache(100, 2);
+
+        cache.put("gianti", List.of(1L, 2L), cache.generation());
+        cache.put("mommy", List.of(1L, 2L, 3L), cache.generation());
+
+        assertThat(cache.get("gianti"), contains(1L, 2L));
+        assertThat(cache.get("mommy"), is(nullValue()));
+    }
+}
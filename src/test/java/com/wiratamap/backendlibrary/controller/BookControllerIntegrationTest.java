@@ -1,17 +1,23 @@
 package com.wiratamap.backendlibrary.controller;
 
+import com.wiratamap.backendlibrary.cache.SearchResultCache;
 import com.wiratamap.backendlibrary.entity.Book;
 import com.wiratamap.backendlibrary.repository.BookRepository;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,9 +31,13 @@ class BookControllerIntegrationTest {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     @BeforeEach
     void setUp() {
         bookRepository.deleteAll();
+        searchResultCache.clear();
     }
 
     @Test
@@ -194,7 +204,7 @@ class BookControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestBody))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(existingBook.getId().intValue())))
+                .andExpect(jsonPath("$.id", is(existingBook.getId())))
                 .andExpect(jsonPath("$.title", is("Mommyclopedia: 78 Resep MPASI Edisi Revisi")))
                 .andExpect(jsonPath("$.author", is("dr. Meta Hanindita, Sp.A")))
                 .andExpect(jsonPath("$.isbn", is("9786028519939")))
@@ -299,7 +309,7 @@ class BookControllerIntegrationTest {
 
         mockMvc.perform(get("/books/{id}", existingBook.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(existingBook.getId().intValue())))
+                .andExpect(jsonPath("$.id", is(existingBook.getId())))
                 .andExpect(jsonPath("$.title", is("Mommyclopedia: 78 Resep MPASI")))
                 .andExpect(jsonPath("$.author", is("dr. Meta Hanindita, Sp.A")))
                 .andExpect(jsonPath("$.isbn", is("9786028519939")))
@@ -363,6 +373,48 @@ class BookControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    void listBooks_shouldReturnAllFields_whenNoSearchParam() throws Exception {
+        Book existingBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(existingBook.getId())))
+                .andExpect(jsonPath("$[0].title", is("Mommyclopedia: 78 Resep MPASI")))
+                .andExpect(jsonPath("$[0].author", is("dr. Meta Hanindita, Sp.A")))
+                .andExpect(jsonPath("$[0].isbn", is("9786028519939")))
+                .andExpect(jsonPath("$[0].publicationYear", is("2016")))
+                .andExpect(jsonPath("$[0].genre", is("Parenting")))
+                .andExpect(jsonPath("$[0].description", nullValue()));
+    }
+
+    @Test
+    void createBook_shouldNotReportStorageUnavailable_whenTitleExceedsColumnLength() {
+        String requestBody = """
+                {
+                    "title": "%s",
+                    "author": "dr. Meta Hanindita, Sp.A",
+                    "isbn": "9786028519939",
+                    "publicationYear": "2016",
+                    "genre": "Parenting"
+                }
+                """.formatted("M".repeat(300));
+
+        ServletException ex = assertThrows(ServletException.class, () -> mockMvc.perform(post("/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)));
+
+        assertThat(ex.getCause(), instanceOf(DataIntegrityViolationException.class));
+    }
+
     @Test
     void listBooks_shouldReturnEmptyList_whenNoBooksExist() throws Exception {
         mockMvc.perform(get("/books"))
@@ -430,4 +482,112 @@ class BookControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
+
+    @Test
+    void listBooks_shouldReturnSameBooks_whenSearchDiffersOnlyInCaseAndWhitespace() throws Exception {
+        bookRepository.save(Book.builder()
+                .title("Serunya Dunia Hewan: 101+ Kata Pertamaku")
+                .author("Gianti Amanda")
+                .isbn("9780735211292")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+
+        mockMvc.perform(get("/books").param("search", "gianti amanda"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/books").param("search", "  GIANTI   Amanda "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].author", is("Gianti Amanda")));
+    }
+
+    @Test
+    void listBooks_shouldIncludeNewBook_whenSearchWasCachedBeforeCreate() throws Exception {
+        mockMvc.perform(get("/books").param("search", "mommyclopedia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        String requestBody = """
+                {
+                    "title": "Mommyclopedia: 78 Resep MPASI",
+                    "author": "dr. Meta Hanindita, Sp.A",
+                    "isbn": "9786028519939",
+                    "publicationYear": "2016",
+                    "genre": "Parenting"
+                }
+                """;
+
+        mockMvc.perform(post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/books").param("search", "mommyclopedia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Mommyclopedia: 78 Resep MPASI")));
+    }
+
+    @Test
+    void listBooks_shouldExcludeUpdatedBook_whenTitleNoLongerMatchesCachedSearch() throws Exception {
+        Book existingBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books").param("search", "mommyclopedia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        String requestBody = """
+                {
+                    "title": "Resep MPASI",
+                    "author": "dr. Meta Hanindita, Sp.A",
+                    "isbn": "9786028519939",
+                    "publicationYear": "2016",
+                    "genre": "Parenting"
+                }
+                """;
+
+        mockMvc.perform(put("/books/{id}", existingBook.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/books").param("search", "mommyclopedia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void listBooks_shouldMatchWildcardCharactersLiterally_whenSearchContainsThem() throws Exception {
+        bookRepository.save(Book.builder()
+                .title("Diskon 50% Buku Anak")
+                .author("Gianti Amanda")
+                .isbn("9780735211292")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+        bookRepository.save(Book.builder()
+                .title("Diskon 500 Buku Anak")
+                .author("Gianti Amanda")
+                .isbn("9786028519939")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+
+        mockMvc.perform(get("/books").param("search", "50%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Diskon 50% Buku Anak")));
+
+        mockMvc.perform(get("/books").param("search", "diskon_5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
 }
@@ -0,0 +1,48 @@
+package com.wiratamap.backendlibrary.controller;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.repository.BookJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookControllerStorageFailureIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BookJdbcRepository bookJdbcRepository;
+
+    @Test
+    void listBooks_shouldReturn503_whenShardBecomesUnavailableMidStream() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookDto> rowHandler = invocation.getArgument(0);
+            rowHandler.accept(new BookDto(1L, "Mommyclopedia: 78 Resep MPASI", "dr. Meta Hanindita, Sp.A",
+                    "9786028519939", "2016", "Parenting", null));
+            throw new DataAccessResourceFailureException("Connection to book-shard-1 refused");
+        }).when(bookJdbcRepository).streamAll(any());
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is(503)))
+                .andExpect(jsonPath("$.message", is("Book storage is unavailable")))
+                .andExpect(content().string(not(containsString("Mommyclopedia"))));
+    }
+}
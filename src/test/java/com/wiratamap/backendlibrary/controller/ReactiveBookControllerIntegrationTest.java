@@ -0,0 +1,190 @@
+package com.wiratamap.backendlibrary.controller;
+
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveBookControllerIntegrationTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void listBooks_shouldStreamAllBooksAsNdjson_whenNoSearchParam() throws Exception {
+        Book firstBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+        Book secondBook = bookRepository.save(Book.builder()
+                .title("Serunya Dunia Hewan: 101+ Kata Pertamaku")
+                .author("Gianti Amanda")
+                .isbn("9780000000001")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/books").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(stringContainsInOrder(
+                        "\"id\":" + firstBook.getId(),
+                        "\"title\":\"Mommyclopedia: 78 Resep MPASI\"",
+                        "\n",
+                        "\"id\":" + secondBook.getId(),
+                        "\"title\":\"Serunya Dunia Hewan: 101+ Kata Pertamaku\"")));
+    }
+
+    @Test
+    void listBooks_shouldStreamMatchingBooks_whenSearchByAuthor() throws Exception {
+        bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+        bookRepository.save(Book.builder()
+                .title("Serunya Dunia Hewan: 101+ Kata Pertamaku")
+                .author("Gianti Amanda")
+                .isbn("9780000000001")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/books").param("search", " GIANTI ")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"author\":\"Gianti Amanda\"")))
+                .andExpect(content().string(not(containsString("Mommyclopedia"))));
+    }
+
+    @Test
+    void listBooks_shouldStreamEveryBookInIdOrder_whenShardsHoldSeveralPages() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            ids.add(bookRepository.save(Book.builder()
+                    .title("Book " + i)
+                    .author("Author " + i)
+                    .isbn("978" + String.format("%010d", i))
+                    .publicationYear("2020")
+                    .genre("Fiction")
+                    .build()).getId());
+        }
+
+        MvcResult result = mockMvc.perform(get("/reactive/books").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<Long> streamedIds = body.lines()
+                .map(line -> Long.valueOf(ID.matcher(line).results().findFirst().orElseThrow().group(1)))
+                .toList();
+        assertThat(streamedIds, is(ids));
+    }
+
+    @Test
+    void listBooks_shouldMatchWildcardCharactersLiterally_whenSearchContainsThem() throws Exception {
+        bookRepository.save(Book.builder()
+                .title("Diskon 50% Buku Anak")
+                .author("Gianti Amanda")
+                .isbn("9780735211292")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+        bookRepository.save(Book.builder()
+                .title("Diskon 500 Buku Anak")
+                .author("Gianti Amanda")
+                .isbn("9786028519939")
+                .publicationYear("2025")
+                .genre("Children")
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/books").param("search", "50%")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Diskon 50% Buku Anak")))
+                .andExpect(content().string(not(containsString("Diskon 500 Buku Anak"))));
+    }
+
+    @Test
+    void getBook_shouldReturn200_whenBookExists() throws Exception {
+        Book existingBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .description("Kumpulan resep MPASI untuk bayi")
+                .build());
+
+        MvcResult result = mockMvc.perform(get("/reactive/books/{id}", existingBook.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(existingBook.getId())))
+                .andExpect(jsonPath("$.title", is("Mommyclopedia: 78 Resep MPASI")))
+                .andExpect(jsonPath("$.description", is("Kumpulan resep MPASI untuk bayi")));
+    }
+
+    @Test
+    void getBook_shouldReturn404_whenBookNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/reactive/books/{id}", 999))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message", is("Book not found with id: 999")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.wiratamap.backendlibrary.controller;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.repository.ReactiveBookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveBookControllerSlowStreamIntegrationTest {
+
+    private static final Duration TOMCAT_DEFAULT_ASYNC_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private Environment environment;
+
+    @MockitoBean
+    private ReactiveBookRepository reactiveBookRepository;
+
+    @Test
+    void listBooks_shouldStreamEveryBook_whenStreamOutlivesDefaultAsyncTimeout() throws Exception {
+        when(reactiveBookRepository.findAll()).thenReturn(Flux.just(
+                        new BookDto(1L, "Mommyclopedia: 78 Resep MPASI", "dr. Meta Hanindita, Sp.A",
+                                "9786028519939", "2016", "Parenting", null),
+                        new BookDto(2L, "Serunya Dunia Hewan: 101+ Kata Pertamaku", "Gianti Amanda",
+                                "9780000000001", "2025", "Children", null))
+                .delayElements(TOMCAT_DEFAULT_ASYNC_TIMEOUT.dividedBy(2).plusSeconds(2)));
+
+        int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/reactive/books"))
+                .header("Accept", "application/x-ndjson")
+                .GET()
+                .build();
+
+        HttpResponse<String> response;
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        assertThat(response.statusCode(), is(200));
+        assertThat(response.body(), stringContainsInOrder(
+                "\"title\":\"Mommyclopedia: 78 Resep MPASI\"",
+                "\n",
+                "\"title\":\"Serunya Dunia Hewan: 101+ Kata Pertamaku\""));
+    }
+}
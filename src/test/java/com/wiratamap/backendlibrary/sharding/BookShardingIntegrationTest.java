@@ -0,0 +1,167 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import com.wiratamap.backendlibrary.dto.BookDto;
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import com.wiratamap.backendlibrary.repository.ReactiveBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "library.sharding.urls="
+        + "jdbc:h2:mem:sharding-test-0;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:sharding-test-1;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:sharding-test-2;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class BookShardingIntegrationTest {
+
+    private static final List<String> ISBNS = List.of(
+            "9786028519939", "9780735211292", "9791234567890", "9780000000001",
+            "9780000000002", "9780000000003", "9780000000004", "9780000000005");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReactiveBookRepository reactiveBookRepository;
+
+    @Autowired
+    private BookShards bookShards;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    void save_shouldStoreBookOnlyOnShardOwningItsIsbn() {
+        for (String isbn : ISBNS) {
+            bookRepository.save(book(isbn));
+        }
+
+        for (String isbn : ISBNS) {
+            for (JdbcTemplate shard : bookShards.all()) {
+                int expected = shard == bookShards.forIsbn(isbn) ? 1 : 0;
+                assertThat(countByIsbn(shard, isbn), is(expected));
+            }
+        }
+    }
+
+    @Test
+    void listBooks_shouldMergeBooksFromAllShardsInIdOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (String isbn : ISBNS) {
+            ids.add(bookRepository.save(book(isbn)).getId());
+        }
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ISBNS.size())))
+                .andExpect(jsonPath("$[*].id", contains(ids.toArray())));
+    }
+
+    @Test
+    void update_shouldMoveBookToNewShard_whenIsbnChangesOwner() {
+        Book book = bookRepository.save(book(ISBNS.get(0)));
+        String previousIsbn = book.getIsbn();
+        String movedIsbn = isbnOnOtherShard(previousIsbn);
+        JdbcTemplate previousShard = bookShards.forIsbn(previousIsbn);
+
+        book.setIsbn(movedIsbn);
+
+        assertThat(bookRepository.update(book, previousIsbn), is(true));
+        assertThat(countByIsbn(bookShards.forIsbn(movedIsbn), movedIsbn), is(1));
+        assertThat(countById(previousShard, book.getId()), is(0));
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getIsbn(), is(movedIsbn));
+    }
+
+    @Test
+    void update_shouldNotResurrectBook_whenItWasDeletedConcurrently() {
+        Book book = bookRepository.save(book(ISBNS.get(0)));
+        String previousIsbn = book.getIsbn();
+        bookRepository.deleteById(book.getId());
+
+        book.setIsbn(isbnOnOtherShard(previousIsbn));
+
+        assertThat(bookRepository.update(book, previousIsbn), is(false));
+        for (JdbcTemplate shard : bookShards.all()) {
+            assertThat(countById(shard, book.getId()), is(0));
+        }
+    }
+
+    @Test
+    void update_shouldKeepBookOnPreviousShard_whenInsertOnNewShardFails() {
+        Book book = bookRepository.save(book(ISBNS.get(0)));
+        String previousIsbn = book.getIsbn();
+        String movedIsbn = isbnOnOtherShard(previousIsbn);
+        bookRepository.save(book(movedIsbn));
+
+        book.setIsbn(movedIsbn);
+
+        assertThrows(DuplicateKeyException.class, () -> bookRepository.update(book, previousIsbn));
+        assertThat(countById(bookShards.forIsbn(previousIsbn), book.getId()), is(1));
+        assertThat(countById(bookShards.forIsbn(movedIsbn), book.getId()), is(0));
+    }
+
+    @Test
+    void reads_shouldReturnMovedCopyOnce_whileBookIsOnBothShards() throws Exception {
+        Book book = bookRepository.save(book(ISBNS.get(0)));
+        String movedIsbn = isbnOnOtherShard(book.getIsbn());
+        bookShards.forIsbn(movedIsbn).update("""
+                INSERT INTO book (id, title, author, isbn, publication_year, genre, version)
+                    VALUES (?, ?, ?, ?, ?, ?, 1)
+                """, book.getId(), book.getTitle(), book.getAuthor(), movedIsbn, book.getPublicationYear(),
+                book.getGenre());
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].isbn", is(movedIsbn)));
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getIsbn(), is(movedIsbn));
+        assertThat(reactiveBookRepository.findAll().map(BookDto::isbn).collectList().block(), contains(movedIsbn));
+        assertThat(reactiveBookRepository.findById(book.getId()).map(BookDto::isbn).block(), is(movedIsbn));
+    }
+
+    private String isbnOnOtherShard(String isbn) {
+        return ISBNS.stream()
+                .filter(candidate -> bookShards.forIsbn(candidate) != bookShards.forIsbn(isbn))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int countById(JdbcTemplate shard, Long id) {
+        return shard.queryForObject("SELECT COUNT(*) FROM book WHERE id = ?", Integer.class, id);
+    }
+
+    private int countByIsbn(JdbcTemplate shard, String isbn) {
+        return shard.queryForObject("SELECT COUNT(*) FROM book WHERE isbn = ?", Integer.class, isbn);
+    }
+
+    private Book book(String isbn) {
+        return Book.builder()
+                .title("Book " + isbn)
+                .author("Author " + isbn)
+                .isbn(isbn)
+                .publicationYear("2020")
+                .genre("Fiction")
+                .build();
+    }
+}
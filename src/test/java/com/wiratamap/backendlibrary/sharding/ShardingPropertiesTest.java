@@ -0,0 +1,33 @@
+package com.wiratamap.backendlibrary.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardingPropertiesTest {
+
+    @Test
+    void r2dbcUrls_shouldPointAtSameDatabasesAsUrls() {
+        ShardingProperties properties = new ShardingProperties(List.of(
+                "jdbc:h2:mem:books-0;DB_CLOSE_DELAY=-1",
+                "jdbc:h2:mem:books-1",
+                "jdbc:h2:file:./data/books-2;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"), "sa", "", 10, 0);
+
+        assertThat(properties.r2dbcUrls(), contains(
+                "r2dbc:h2:mem:///books-0?options=DB_CLOSE_DELAY=-1",
+                "r2dbc:h2:mem:///books-1",
+                "r2dbc:h2:file:///./data/books-2?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL"));
+    }
+
+    @Test
+    void r2dbcUrls_shouldFail_whenShardIsNotH2() {
+        ShardingProperties properties = new ShardingProperties(
+                List.of("jdbc:postgresql://localhost:5432/books"), "sa", "", 10, 0);
+
+        assertThrows(IllegalStateException.class, properties::r2dbcUrls);
+    }
+}
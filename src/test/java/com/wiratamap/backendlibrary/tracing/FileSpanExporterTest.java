@@ -0,0 +1,49 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class FileSpanExporterTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void export_shouldAppendOneJsonLinePerSpan(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, jsonMapper);
+        SpanData root = new SpanData("trace-1", 1, null, "GET /books", 1_000, 250, Map.of("http.status", 200));
+        SpanData query = new SpanData("trace-1", 2, 1, "db.query", 1_010, 40,
+                Map.of("db.statement", "SELECT * FROM book"));
+        SpanData nextRoot = new SpanData("trace-2", 1, null, "GET /books/1", 2_000, 80, Map.of("http.status", 404));
+
+        exporter.export(List.of(root, query));
+        exporter.export(List.of(nextRoot));
+
+        List<SpanData> exported = Files.readAllLines(file).stream()
+                .map(line -> jsonMapper.readValue(line, SpanData.class))
+                .toList();
+        assertThat(exported, contains(root, query, nextRoot));
+    }
+
+    @Test
+    void export_shouldLogAndNotThrow_whenFileCannotBeWritten(@TempDir Path directory, CapturedOutput output) {
+        FileSpanExporter exporter = new FileSpanExporter(directory, jsonMapper);
+
+        exporter.export(List.of(new SpanData("trace-1", 1, null, "GET /books", 1_000, 250, Map.of())));
+
+        assertThat(output.getOut(), containsString("Failed to export 1 spans to " + directory));
+    }
+}
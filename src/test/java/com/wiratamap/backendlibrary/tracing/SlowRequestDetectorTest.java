@@ -0,0 +1,102 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowRequestDetectorTest {
+
+    @Test
+    void inspect_shouldLogSlowRequest_whenDurationReachesThreshold(CapturedOutput output) {
+        SlowRequestDetector detector = new SlowRequestDetector(
+                properties(Duration.ofMillis(500), Duration.ofMinutes(1), 20, 5));
+        RequestTrace trace = finishedTrace();
+
+        detector.inspect("GET /books", trace, TimeUnit.MILLISECONDS.toNanos(600));
+
+        assertThat(output.getOut(), containsString("Slow request GET /books took 600 ms"));
+        assertThat(output.getOut(), containsString("(trace " + trace.traceId() + ")"));
+    }
+
+    @Test
+    void inspect_shouldNotLogSlowRequest_whenDurationIsBelowThreshold(CapturedOutput output) {
+        SlowRequestDetector detector = new SlowRequestDetector(
+                properties(Duration.ofMillis(500), Duration.ofMinutes(1), 20, 5));
+
+        detector.inspect("GET /books", finishedTrace(), TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(output.getOut(), not(containsString("Slow request")));
+    }
+
+    @Test
+    void inspect_shouldJudgeStatementCountsPerShard(CapturedOutput output) {
+        SlowRequestDetector detector = new SlowRequestDetector(
+                properties(Duration.ofMinutes(1), Duration.ofMinutes(1), 3, 2));
+        RequestTrace trace = RequestTrace.begin();
+        for (int i = 0; i < 2; i++) {
+            trace.recordStatement("book-shard-" + i, "SELECT * FROM book WHERE id = ?", System.nanoTime(), 0);
+            trace.recordStatement("book-shard-" + i, "DELETE FROM book WHERE id = ?", System.nanoTime(), 0);
+        }
+        trace.end();
+
+        detector.inspect("DELETE /books/1", trace, 0);
+
+        assertThat(output.getOut(), not(containsString("SQL statements on")));
+        assertThat(output.getOut(), not(containsString("Possible N+1")));
+    }
+
+    @Test
+    void inspect_shouldLogPossibleNPlusOne_whenStatementRepeatsOnOneShard(CapturedOutput output) {
+        SlowRequestDetector detector = new SlowRequestDetector(
+                properties(Duration.ofMinutes(1), Duration.ofMinutes(1), 3, 2));
+        RequestTrace trace = RequestTrace.begin();
+        for (int i = 0; i < 3; i++) {
+            trace.recordStatement("book-shard-1", "SELECT * FROM book WHERE id = ?", System.nanoTime(), 0);
+        }
+        trace.end();
+
+        detector.inspect("GET /books", trace, 0);
+
+        assertThat(output.getOut(), containsString("Request GET /books issued 3 SQL statements on book-shard-1"));
+        assertThat(output.getOut(), containsString("Possible N+1 in request GET /books: "
+                + "statement executed 3 times on book-shard-1: SELECT * FROM book WHERE id = ?"));
+    }
+
+    @Test
+    void inspect_shouldLogSlowStatement_whenSingleStatementReachesThreshold(CapturedOutput output) {
+        SlowRequestDetector detector = new SlowRequestDetector(
+                properties(Duration.ofMinutes(1), Duration.ofMillis(100), 20, 5));
+        RequestTrace trace = RequestTrace.begin();
+        trace.recordStatement("book-shard-0", "SELECT * FROM book WHERE isbn = ?", System.nanoTime(),
+                TimeUnit.MILLISECONDS.toNanos(150));
+        trace.recordStatement("book-shard-1", "SELECT * FROM book WHERE id = ?", System.nanoTime(),
+                TimeUnit.MILLISECONDS.toNanos(10));
+        trace.end();
+
+        detector.inspect("GET /books", trace, TimeUnit.MILLISECONDS.toNanos(160));
+
+        assertThat(output.getOut(), containsString("Slow SQL statement in request GET /books took 150 ms "
+                + "on book-shard-0: SELECT * FROM book WHERE isbn = ? (trace " + trace.traceId() + ")"));
+        assertThat(output.getOut(), not(containsString("book-shard-1: SELECT * FROM book WHERE id = ?")));
+    }
+
+    private static TracingProperties properties(Duration slowRequestThreshold, Duration slowStatementThreshold,
+                                                int statementCountThreshold, int repeatedStatementThreshold) {
+        return new TracingProperties(true, "none", "traces.jsonl", slowRequestThreshold, slowStatementThreshold,
+                statementCountThreshold, repeatedStatementThreshold);
+    }
+
+    private static RequestTrace finishedTrace() {
+        RequestTrace trace = RequestTrace.begin();
+        trace.end();
+        return trace;
+    }
+}
@@ -0,0 +1,64 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "library.tracing.enabled=false",
+        "library.sharding.urls=jdbc:h2:mem:tracing-disabled-0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:tracing-disabled-1;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class TracingDisabledIntegrationTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookShards bookShards;
+
+    @Test
+    void context_shouldNotTraceRequestsOrWrapShardConnections() {
+        assertThat(context.getBeansOfType(TracingFilter.class), is(anEmptyMap()));
+        assertThat(context.getBeansOfType(TracingAdvisingPostProcessor.class), is(anEmptyMap()));
+        for (JdbcTemplate shard : bookShards.all()) {
+            assertThat(shard.getDataSource(), not(instanceOf(TracingDataSource.class)));
+        }
+    }
+
+    @Test
+    void listBooks_shouldStillWork_whenTracingIsDisabled() throws Exception {
+        bookRepository.deleteAll();
+        bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+}
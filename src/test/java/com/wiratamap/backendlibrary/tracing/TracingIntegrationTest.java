@@ -0,0 +1,171 @@
+package com.wiratamap.backendlibrary.tracing;
+
+import com.wiratamap.backendlibrary.entity.Book;
+import com.wiratamap.backendlibrary.repository.BookRepository;
+import com.wiratamap.backendlibrary.sharding.BookShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "library.tracing.exporter=memory",
+        "library.tracing.repeated-statement-threshold=2"
+})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookShards bookShards;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private TracingProperties tracingProperties;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        spanExporter.reset();
+    }
+
+    @Test
+    void getBook_shouldExportSpansForEachLayer() throws Exception {
+        Book existingBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books/{id}", existingBook.getId()))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = spanExporter.getFinishedSpans();
+        List<String> spanNames = spans.stream().map(SpanData::name).toList();
+
+        assertThat(spanNames, hasItems(
+                "GET /books/" + existingBook.getId(),
+                "BookController.findById",
+                "BookService.findById",
+                "BookRepository.findById",
+                "db.connection.acquire",
+                "db.query",
+                "db.fetch"));
+        assertThat(spans.stream().map(SpanData::traceId).distinct().toList(), hasSize(1));
+
+        SpanData rootSpan = spans.stream().filter(span -> span.parentSpanId() == null).findFirst().orElseThrow();
+        assertThat(rootSpan.attributes(), hasEntry("http.status", (Object) 200));
+        assertThat(rootSpan.attributes(), hasEntry("db.statement.count", (Object) bookShards.size()));
+    }
+
+    @Test
+    void listBooks_shouldTraceFetchingAndSerializingRowsSeparately() throws Exception {
+        bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = spanExporter.getFinishedSpans();
+        List<SpanData> fetchSpans = spans.stream().filter(span -> span.name().equals("db.fetch")).toList();
+        assertThat(fetchSpans, hasSize(bookShards.size()));
+        assertThat(fetchSpans.stream().mapToInt(span -> (Integer) span.attributes().get("db.rows")).sum(), is(1));
+
+        SpanData serializeSpan = spans.stream()
+                .filter(span -> span.name().equals("json.serialize"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(serializeSpan.attributes(), hasEntry("json.rows", (Object) 1));
+    }
+
+    @Test
+    void getReactiveBook_shouldFinishTraceWhenAsyncResponseCompletes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/reactive/books/{id}", 999))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(spanExporter.getFinishedSpans(), is(empty()));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+
+        List<SpanData> rootSpans = spanExporter.getFinishedSpans().stream()
+                .filter(span -> span.parentSpanId() == null)
+                .toList();
+        assertThat(rootSpans, hasSize(1));
+        assertThat(rootSpans.getFirst().name(), is("GET /reactive/books/999"));
+        assertThat(rootSpans.getFirst().attributes(), hasEntry("http.status", (Object) 404));
+    }
+
+    @Test
+    void getBook_shouldNotLogPossibleNPlusOne_whenLookupIsOnlyScatteredToShards(CapturedOutput output)
+            throws Exception {
+        Book existingBook = bookRepository.save(Book.builder()
+                .title("Mommyclopedia: 78 Resep MPASI")
+                .author("dr. Meta Hanindita, Sp.A")
+                .isbn("9786028519939")
+                .publicationYear("2016")
+                .genre("Parenting")
+                .build());
+
+        mockMvc.perform(get("/books/{id}", existingBook.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(output.getOut(), not(containsString("Possible N+1")));
+    }
+
+    @Test
+    void inspect_shouldLogPossibleNPlusOne_whenBooksAreLoadedOneByOne(CapturedOutput output) {
+        List<Long> ids = Stream.of("9786028519939", "9780735211292", "9791234567890")
+                .map(isbn -> bookRepository.save(Book.builder()
+                        .title("Book " + isbn)
+                        .author("Author " + isbn)
+                        .isbn(isbn)
+                        .publicationYear("2020")
+                        .genre("Fiction")
+                        .build()).getId())
+                .toList();
+
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            ids.forEach(bookRepository::findById);
+        } finally {
+            trace.end();
+        }
+        new SlowRequestDetector(tracingProperties).inspect("GET /books/one-by-one", trace, trace.elapsedNanos());
+
+        assertThat(output.getOut(), containsString("Possible N+1 in request GET /books/one-by-one: "
+                + "statement executed 3 times on book-shard-0: SELECT * FROM book WHERE id = ?"));
+    }
+}